@@ -3,10 +3,19 @@ package ru.practicum.moviehub;
 import ru.practicum.moviehub.http.MoviesServer;
 import ru.practicum.moviehub.store.MoviesStore;
 
+import java.time.Duration;
+
 public class MovieHubApp {
     public static void main(String[] args) {
-        final MoviesServer server = new MoviesServer(new MoviesStore(), 8080);
-        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        MoviesStore store = "offheap".equals(System.getProperty("moviehub.storage"))
+                ? MoviesStore.offHeap()
+                : new MoviesStore();
+        Duration readinessGrace = Duration.ofSeconds(Long.getLong("moviehub.drain.graceSeconds",
+                MoviesServer.DEFAULT_READINESS_GRACE.toSeconds()));
+        Duration drainTimeout = Duration.ofSeconds(Long.getLong("moviehub.drain.timeoutSeconds",
+                MoviesServer.DEFAULT_DRAIN_TIMEOUT.toSeconds()));
+        final MoviesServer server = new MoviesServer(store, 8080);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.drain(readinessGrace, drainTimeout)));
         server.start();
     }
 }
\ No newline at end of file
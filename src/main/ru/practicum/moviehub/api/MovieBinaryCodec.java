@@ -0,0 +1,223 @@
+package ru.practicum.moviehub.api;
+
+import ru.practicum.moviehub.model.Movie;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Компактный бинарный формат списка фильмов для межсервисного обмена.
+ * <p>
+ * Структура: байт версии, таблица режиссёров (varint-количество, затем строки),
+ * varint-количество фильмов и сами фильмы. Каждый фильм начинается с байта-маски
+ * присутствующих полей, за которым идут id и year в zigzag-varint, title строкой
+ * и director индексом в таблице. Строки кодируются как varint-длина и байты UTF-8.
+ * <p>
+ * Одиночная запись ({@link #encodeRecord}) устроена так же, как фильм внутри списка,
+ * но director хранится в ней строкой, а не индексом.
+ */
+public class MovieBinaryCodec {
+    public static final String MEDIA_TYPE = "application/x-moviehub-binary";
+    private static final byte VERSION = 1;
+    private static final int HAS_ID = 1;
+    private static final int HAS_TITLE = 1 << 1;
+    private static final int HAS_YEAR = 1 << 2;
+    private static final int HAS_DIRECTOR = 1 << 3;
+
+    public static byte[] encode(List<Movie> movies) {
+        Map<String, Integer> directorIndex = new HashMap<>();
+        List<String> directors = new ArrayList<>();
+        for (Movie movie : movies) {
+            String director = movie.getDirector();
+            if (director != null && !directorIndex.containsKey(director)) {
+                directorIndex.put(director, directors.size());
+                directors.add(director);
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + movies.size() * 24);
+        out.write(VERSION);
+        writeVarint(out, directors.size());
+        for (String director : directors) {
+            writeString(out, director);
+        }
+        writeVarint(out, movies.size());
+        for (Movie movie : movies) {
+            writeMovie(out, movie, directorIndex);
+        }
+        return out.toByteArray();
+    }
+
+    public static List<Movie> decode(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        try {
+            byte version = in.get();
+            if (version != VERSION) {
+                throw new BinaryFormatException("Unsupported version " + version);
+            }
+
+            int directorCount = readCount(in);
+            String[] directors = new String[directorCount];
+            for (int i = 0; i < directorCount; i++) {
+                directors[i] = readString(in);
+            }
+
+            int movieCount = readCount(in);
+            List<Movie> movies = new ArrayList<>(movieCount);
+            for (int i = 0; i < movieCount; i++) {
+                movies.add(readMovie(in, directors));
+            }
+            if (in.hasRemaining()) {
+                throw new BinaryFormatException(in.remaining() + " trailing bytes");
+            }
+            return movies;
+        } catch (BufferUnderflowException e) {
+            throw new BinaryFormatException("Unexpected end of data");
+        }
+    }
+
+    public static byte[] encodeRecord(Movie movie) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32);
+        writeMovie(out, movie, null);
+        return out.toByteArray();
+    }
+
+    /**
+     * Читает одиночную запись с текущей позиции буфера; буфер может быть direct.
+     */
+    public static Movie decodeRecord(ByteBuffer in) {
+        try {
+            return readMovie(in, null);
+        } catch (BufferUnderflowException e) {
+            throw new BinaryFormatException("Unexpected end of data");
+        }
+    }
+
+    private static void writeMovie(ByteArrayOutputStream out, Movie movie, Map<String, Integer> directorIndex) {
+        int flags = 0;
+        if (movie.getId() != null) flags |= HAS_ID;
+        if (movie.getTitle() != null) flags |= HAS_TITLE;
+        if (movie.getYear() != null) flags |= HAS_YEAR;
+        if (movie.getDirector() != null) flags |= HAS_DIRECTOR;
+        out.write(flags);
+
+        if (movie.getId() != null) {
+            writeVarint(out, zigzag(movie.getId()));
+        }
+        if (movie.getTitle() != null) {
+            writeString(out, movie.getTitle());
+        }
+        if (movie.getYear() != null) {
+            writeVarint(out, zigzag(movie.getYear()));
+        }
+        if (movie.getDirector() != null) {
+            if (directorIndex == null) {
+                writeString(out, movie.getDirector());
+            } else {
+                writeVarint(out, directorIndex.get(movie.getDirector()));
+            }
+        }
+    }
+
+    private static Movie readMovie(ByteBuffer in, String[] directors) {
+        int flags = in.get();
+        if ((flags & ~(HAS_ID | HAS_TITLE | HAS_YEAR | HAS_DIRECTOR)) != 0) {
+            throw new BinaryFormatException("Unknown field flags " + flags);
+        }
+
+        Movie movie = new Movie();
+        if ((flags & HAS_ID) != 0) {
+            movie.setId(unzigzag(readVarint(in)));
+        }
+        if ((flags & HAS_TITLE) != 0) {
+            movie.setTitle(readString(in));
+        }
+        if ((flags & HAS_YEAR) != 0) {
+            movie.setYear(unzigzag(readVarint(in)));
+        }
+        if ((flags & HAS_DIRECTOR) != 0 && directors == null) {
+            movie.setDirector(readString(in));
+        } else if ((flags & HAS_DIRECTOR) != 0) {
+            int index = readVarint(in);
+            if (index < 0 || index >= directors.length) {
+                throw new BinaryFormatException("Director index out of range: " + index);
+            }
+            movie.setDirector(directors[index]);
+        }
+        return movie;
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = readCount(in);
+        if (!in.hasArray()) {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        String s = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return s;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            // В пятом байте помещаются только 4 младших бита int, остальное — переполнение.
+            if (shift == 28 && (b & 0xF0) != 0) {
+                throw new BinaryFormatException("Varint overflows int");
+            }
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new BinaryFormatException("Varint is too long");
+    }
+
+    // Количество элементов не может превышать число оставшихся байт: это отсекает
+    // огромные аллокации на повреждённых данных.
+    private static int readCount(ByteBuffer in) {
+        int count = readVarint(in);
+        if (count < 0 || count > in.remaining()) {
+            throw new BinaryFormatException("Invalid length " + count);
+        }
+        return count;
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public static class BinaryFormatException extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+
+        public BinaryFormatException(String message) {
+            super(message);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import ru.practicum.moviehub.api.ErrorResponse;
+import ru.practicum.moviehub.api.MovieBinaryCodec;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -11,6 +12,7 @@ import java.nio.charset.StandardCharsets;
 
 public abstract class BaseHttpHandler implements HttpHandler {
     protected static final String CT_JSON = "application/json; charset=UTF-8";
+    protected static final String CT_BINARY = MovieBinaryCodec.MEDIA_TYPE;
     private static final Gson gson = new Gson();
 
     protected void sendJson(HttpExchange ex, int status, Object data) throws IOException {
@@ -26,6 +28,16 @@ public abstract class BaseHttpHandler implements HttpHandler {
         }
     }
 
+    protected void sendBinary(HttpExchange ex, int status, byte[] responseBytes) throws IOException {
+        ex.getResponseHeaders().set("Content-Type", CT_BINARY);
+        ex.sendResponseHeaders(status, responseBytes.length);
+
+        try (OutputStream os = ex.getResponseBody()) {
+            os.write(responseBytes);
+            os.flush();
+        }
+    }
+
     protected void sendNoContent(HttpExchange ex) throws IOException {
         ex.getResponseHeaders().set("Content-Type", CT_JSON);
         ex.sendResponseHeaders(204, -1);
@@ -39,6 +51,7 @@ public abstract class BaseHttpHandler implements HttpHandler {
             case 404 -> "Not Found";
             case 405 -> "Method Not Allowed";
             case 500 -> "Internal Server Error";
+            case 503 -> "Service Unavailable";
             default -> "Error";
         };
         sendJson(ex, status, new ErrorResponse(errorText, message, status));
@@ -0,0 +1,96 @@
+package ru.practicum.moviehub.http;
+
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+public class DrainFilter extends Filter {
+    private final Object lock = new Object();
+    private final UnavailableHandler unavailableHandler = new UnavailableHandler();
+    private int inFlight;
+    private boolean draining;
+
+    @Override
+    public void doFilter(HttpExchange ex, Chain chain) throws IOException {
+        boolean admitted;
+        synchronized (lock) {
+            admitted = !draining;
+            if (admitted) {
+                inFlight++;
+            }
+        }
+        if (!admitted) {
+            unavailableHandler.handle(ex);
+            return;
+        }
+
+        try {
+            chain.doFilter(ex);
+        } finally {
+            synchronized (lock) {
+                inFlight--;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public String description() {
+        return "Отклоняет новые запросы во время дренирования и считает активные";
+    }
+
+    /**
+     * Перестаёт пропускать новые запросы и ждёт завершения уже начатых.
+     * Прерывание не сокращает ожидание: флаг восстанавливается после выхода.
+     *
+     * @return true, если все запросы завершились до истечения timeout
+     */
+    public boolean drain(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        boolean interrupted = false;
+        try {
+            synchronized (lock) {
+                draining = true;
+                while (inFlight > 0) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                return true;
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isDraining() {
+        synchronized (lock) {
+            return draining;
+        }
+    }
+
+    int inFlight() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    private static class UnavailableHandler extends BaseHttpHandler {
+        @Override
+        public void handle(HttpExchange ex) throws IOException {
+            ex.getResponseHeaders().set("Connection", "close");
+            sendError(ex, 503, "Server is shutting down");
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.sun.net.httpserver.HttpExchange;
 import ru.practicum.moviehub.model.Movie;
 import ru.practicum.moviehub.store.MoviesStore;
 import ru.practicum.moviehub.api.ListOfMoviesTypeToken;
+import ru.practicum.moviehub.api.MovieBinaryCodec;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -50,14 +51,16 @@ public class MoviesHandler extends BaseHttpHandler {
 
     private void handleGetMovies(HttpExchange ex) throws IOException {
         var movies = store.getAllMovies();
-        sendJson(ex, 200, movies);
+        sendMovies(ex, 200, movies);
     }
 
     private void handlePostMovies(HttpExchange ex) throws IOException {
 
         String contentType = ex.getRequestHeaders().getFirst("Content-Type");
-        if (contentType == null || !contentType.toLowerCase(Locale.ROOT).startsWith("application/json")) {
-            sendBadRequest(ex, "Content-Type must be application/json");
+        String mediaType = contentType == null ? "" : mediaType(contentType);
+        boolean binaryBody = mediaType.equals(CT_BINARY);
+        if (!binaryBody && !mediaType.equals("application/json")) {
+            sendBadRequest(ex, "Content-Type must be application/json or " + CT_BINARY);
             return;
         }
 
@@ -73,10 +76,10 @@ public class MoviesHandler extends BaseHttpHandler {
             return;
         }
 
-        String body = new String(bodyBytes, StandardCharsets.UTF_8);
-
         try {
-            List<Movie> newMovies = gson.fromJson(body, ListOfMoviesTypeToken.get());
+            List<Movie> newMovies = binaryBody
+                    ? MovieBinaryCodec.decode(bodyBytes)
+                    : gson.fromJson(new String(bodyBytes, StandardCharsets.UTF_8), ListOfMoviesTypeToken.get());
 
             if (newMovies == null || newMovies.isEmpty()) {
                 sendBadRequest(ex, "No movies provided");
@@ -90,10 +93,12 @@ public class MoviesHandler extends BaseHttpHandler {
                 store.addMovie(movie);
             }
 
-            sendJson(ex, 201, newMovies);
+            sendMovies(ex, 201, newMovies);
 
         } catch (JsonSyntaxException e) {
             sendBadRequest(ex, "Invalid JSON format: " + e.getMessage());
+        } catch (MovieBinaryCodec.BinaryFormatException e) {
+            sendBadRequest(ex, "Invalid binary format: " + e.getMessage());
         } catch (IllegalArgumentException e) {
             sendBadRequest(ex, "Invalid movie data: " + e.getMessage());
         } catch (Exception e) {
@@ -101,6 +106,75 @@ public class MoviesHandler extends BaseHttpHandler {
         }
     }
 
+    private void sendMovies(HttpExchange ex, int status, List<Movie> movies) throws IOException {
+        // Формат ответа зависит от Accept, поэтому кэши должны различать ответы по нему.
+        ex.getResponseHeaders().set("Vary", "Accept");
+        if (acceptsBinary(ex)) {
+            sendBinary(ex, status, MovieBinaryCodec.encode(movies));
+        } else {
+            sendJson(ex, status, movies);
+        }
+    }
+
+    // JSON остаётся форматом по умолчанию: бинарный ответ отдаём, только если по Accept
+    // клиент предпочитает его строго сильнее, чем JSON. При равенстве q выигрывает JSON.
+    private boolean acceptsBinary(HttpExchange ex) {
+        String accept = ex.getRequestHeaders().getFirst("Accept");
+        if (accept == null) {
+            return false;
+        }
+        String[] ranges = accept.split(",");
+        return quality(ranges, CT_BINARY) > quality(ranges, "application/json");
+    }
+
+    // q типа берётся из самого специфичного подходящего диапазона: точный тип,
+    // затем application/*, затем */*. Если ни один не подошёл, тип неприемлем.
+    private double quality(String[] ranges, String type) {
+        int bestSpecificity = 0;
+        double bestQuality = 0;
+        for (String range : ranges) {
+            String[] parts = range.split(";");
+            String rangeType = mediaType(parts[0]);
+            int specificity;
+            if (rangeType.equals(type)) {
+                specificity = 3;
+            } else if (rangeType.equals("application/*")) {
+                specificity = 2;
+            } else if (rangeType.equals("*/*")) {
+                specificity = 1;
+            } else {
+                continue;
+            }
+
+            double q = qParameter(parts);
+            if (specificity > bestSpecificity || (specificity == bestSpecificity && q > bestQuality)) {
+                bestSpecificity = specificity;
+                bestQuality = q;
+            }
+        }
+        return bestQuality;
+    }
+
+    private double qParameter(String[] rangeParts) {
+        for (int i = 1; i < rangeParts.length; i++) {
+            String param = rangeParts[i].trim().toLowerCase(Locale.ROOT);
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static String mediaType(String headerValue) {
+        int paramsStart = headerValue.indexOf(';');
+        String type = paramsStart < 0 ? headerValue : headerValue.substring(0, paramsStart);
+        return type.trim().toLowerCase(Locale.ROOT);
+    }
+
     private void validateMovie(Movie movie) {
         if (movie == null) {
             throw new IllegalArgumentException("Movie cannot be null");
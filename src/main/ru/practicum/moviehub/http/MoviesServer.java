@@ -4,21 +4,36 @@ import com.sun.net.httpserver.HttpServer;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import ru.practicum.moviehub.store.MoviesStore;
 
 
 public class MoviesServer {
+    // Вместе grace и timeout должны укладываться в срок, который оркестратор даёт процессу
+    // между SIGTERM и SIGKILL (обычно 30 секунд).
+    public static final Duration DEFAULT_READINESS_GRACE = Duration.ofSeconds(5);
+    public static final Duration DEFAULT_DRAIN_TIMEOUT = Duration.ofSeconds(20);
+    private static final int WORKER_THREADS = 8;
     private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(WORKER_THREADS);
     private final MoviesStore store;
+    private final AtomicBoolean ready = new AtomicBoolean(false);
+    private final DrainFilter drainFilter = new DrainFilter();
 
     public MoviesServer(MoviesStore store, int port) {
         this.store = store;
         try {
             server = HttpServer.create(new InetSocketAddress(port), 0);
+            // Без своего пула все обработчики выполняются в потоке-диспетчере, и пока один
+            // запрос в работе, новые даже не читаются.
+            server.setExecutor(executor);
 
-
-            server.createContext("/movies", new MoviesHandler(store));
+            server.createContext("/movies", new MoviesHandler(store)).getFilters().add(drainFilter);
+            server.createContext("/ready", new ReadinessHandler(ready));
 
         } catch (IOException e) {
             throw new RuntimeException("Не удалось создать HTTP-сервер", e);
@@ -27,11 +42,62 @@ public class MoviesServer {
 
     public void start() {
         server.start();
+        ready.set(true);
         System.out.println("Сервер запущен");
     }
 
     public void stop() {
+        drain(Duration.ZERO, DEFAULT_DRAIN_TIMEOUT);
+    }
+
+    /**
+     * Останавливает сервер, не обрывая запросы, которые уже обрабатываются.
+     * Сначала /ready начинает отвечать 503, и в течение readinessGrace сервер продолжает
+     * обслуживать трафик, пока балансировщик выводит его из ротации. Затем новые запросы
+     * получают 503, а начатые дорабатывают не дольше drainTimeout.
+     *
+     * @return фактическое время дренирования
+     */
+    public Duration drain(Duration readinessGrace, Duration drainTimeout) {
+        long startedAt = System.nanoTime();
+        ready.set(false);
+        System.out.println("Сервер переходит в режим дренирования");
+
+        // Прерывание сокращает только ожидание балансировщика: начатые запросы всё равно
+        // дорабатывают, а флаг прерывания восстанавливается в конце.
+        boolean interrupted = false;
+        if (!readinessGrace.isZero()) {
+            try {
+                Thread.sleep(readinessGrace.toMillis());
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (!drainFilter.drain(drainTimeout)) {
+            System.out.println("Не все запросы завершились за " + drainTimeout.toMillis() + " мс");
+        }
         server.stop(0);
-        System.out.println("Сервер остановлен");
+        executor.shutdown();
+        store.flush();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        Duration drainTime = Duration.ofNanos(System.nanoTime() - startedAt);
+        System.out.println("Сервер остановлен, дренирование заняло " + drainTime.toMillis() + " мс");
+        return drainTime;
+    }
+
+    public boolean isReady() {
+        return ready.get();
+    }
+
+    int port() {
+        return server.getAddress().getPort();
+    }
+
+    int inFlightRequests() {
+        return drainFilter.inFlight();
     }
 }
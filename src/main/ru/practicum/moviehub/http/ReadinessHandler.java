@@ -0,0 +1,29 @@
+package ru.practicum.moviehub.http;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ReadinessHandler extends BaseHttpHandler {
+    private final AtomicBoolean ready;
+
+    public ReadinessHandler(AtomicBoolean ready) {
+        this.ready = ready;
+    }
+
+    @Override
+    public void handle(HttpExchange ex) throws IOException {
+        if (!ex.getRequestMethod().equals("GET")) {
+            sendMethodNotAllowed(ex);
+            return;
+        }
+
+        if (ready.get()) {
+            sendJson(ex, 200, Map.of("status", "ready"));
+        } else {
+            sendJson(ex, 503, Map.of("status", "draining"));
+        }
+    }
+}
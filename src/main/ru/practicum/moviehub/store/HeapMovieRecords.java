@@ -0,0 +1,42 @@
+package ru.practicum.moviehub.store;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ru.practicum.moviehub.model.Movie;
+
+class HeapMovieRecords implements MovieRecords {
+    private final Map<Integer, Movie> movies = new ConcurrentHashMap<>();
+
+    @Override
+    public Movie get(int id) {
+        return movies.get(id);
+    }
+
+    @Override
+    public void put(int id, Movie movie) {
+        movies.put(id, movie);
+    }
+
+    @Override
+    public boolean contains(int id) {
+        return movies.containsKey(id);
+    }
+
+    @Override
+    public boolean remove(int id) {
+        return movies.remove(id) != null;
+    }
+
+    @Override
+    public List<Movie> values() {
+        return new ArrayList<>(movies.values());
+    }
+
+    @Override
+    public void clear() {
+        movies.clear();
+    }
+}
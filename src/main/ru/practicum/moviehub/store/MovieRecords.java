@@ -0,0 +1,19 @@
+package ru.practicum.moviehub.store;
+
+import java.util.List;
+
+import ru.practicum.moviehub.model.Movie;
+
+interface MovieRecords {
+    Movie get(int id);
+
+    void put(int id, Movie movie);
+
+    boolean contains(int id);
+
+    boolean remove(int id);
+
+    List<Movie> values();
+
+    void clear();
+}
@@ -1,21 +1,40 @@
 package ru.practicum.moviehub.store;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 
 import ru.practicum.moviehub.model.Movie;
 
 public class MoviesStore {
-    private final Map<Integer, Movie> movies = new ConcurrentHashMap<>();
+    private static final int DEFAULT_SLAB_SIZE = 64 * 1024 * 1024;
+    private static final int DEFAULT_CACHE_SIZE = 10_000;
+    private final MovieRecords movies;
     private final AtomicInteger idGenerator = new AtomicInteger(1);
 
+    public MoviesStore() {
+        this(new HeapMovieRecords());
+    }
+
+    private MoviesStore(MovieRecords movies) {
+        this.movies = movies;
+    }
+
+    /**
+     * Хранилище, которое держит фильмы сериализованными вне кучи, а в куче —
+     * только последние прочитанные в LRU-кэше на cacheSize записей.
+     */
+    public static MoviesStore offHeap(int slabSize, int cacheSize) {
+        return new MoviesStore(new OffHeapMovieRecords(slabSize, cacheSize));
+    }
+
+    public static MoviesStore offHeap() {
+        return offHeap(DEFAULT_SLAB_SIZE, DEFAULT_CACHE_SIZE);
+    }
+
     public List<Movie> getAllMovies() {
-        return new ArrayList<>(movies.values());
+        return movies.values();
     }
 
     public Optional<Movie> getMovie(Integer id) {
@@ -30,7 +49,7 @@ public class MoviesStore {
     }
 
     public Optional<Movie> updateMovie(Integer id, Movie movie) {
-        if (movies.containsKey(id)) {
+        if (movies.contains(id)) {
             movie.setId(id);
             movies.put(id, movie);
             return Optional.of(movie);
@@ -39,7 +58,11 @@ public class MoviesStore {
     }
 
     public boolean deleteMovie(Integer id) {
-        return movies.remove(id) != null;
+        return movies.remove(id);
+    }
+
+    public void flush() {
+        // Хранилище живёт только в памяти, сбрасывать на диск нечего.
     }
 
     public void clear() {
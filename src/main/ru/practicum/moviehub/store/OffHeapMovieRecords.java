@@ -0,0 +1,200 @@
+package ru.practicum.moviehub.store;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import ru.practicum.moviehub.api.MovieBinaryCodec;
+import ru.practicum.moviehub.model.Movie;
+
+/**
+ * Хранит сериализованные фильмы вне кучи, в direct-слабах фиксированного размера.
+ * <p>
+ * Записи только дописываются в конец текущего слаба: длина (int) и байты
+ * {@link MovieBinaryCodec#encodeRecord}. Индекс — массив long по id, где лежит
+ * адрес записи (номер слаба в старших 32 битах, смещение в младших) плюс один,
+ * чтобы ноль означал отсутствие записи. При обновлении и удалении старые байты
+ * не переиспользуются, а только учитываются в {@link #deadBytes()}.
+ * <p>
+ * Часто читаемые фильмы держатся в куче в LRU-кэше ограниченного размера,
+ * поэтому число живых объектов Movie не растёт вместе с каталогом. Кэш
+ * пополняется только промахами {@link #get}; запись и полный обход его не трогают.
+ * Наружу отдаются только копии, поэтому изменение полученного Movie не влияет
+ * на хранилище: как и запись в слаб, оно проходит только через {@link #put}.
+ */
+class OffHeapMovieRecords implements MovieRecords {
+    private static final int INITIAL_INDEX_SIZE = 1024;
+    private static final int LENGTH_PREFIX = Integer.BYTES;
+
+    private final int slabSize;
+    private final Map<Integer, Movie> cache;
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private long[] index = new long[INITIAL_INDEX_SIZE];
+    private long deadBytes;
+
+    OffHeapMovieRecords(int slabSize, int cacheSize) {
+        if (slabSize <= LENGTH_PREFIX) {
+            throw new IllegalArgumentException("Slab size is too small: " + slabSize);
+        }
+        this.slabSize = slabSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Movie> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Movie get(int id) {
+        Movie cached = cache.get(id);
+        if (cached != null) {
+            return copyOf(cached);
+        }
+        long address = addressOf(id);
+        if (address == 0) {
+            return null;
+        }
+        Movie movie = read(slabs.get(slabIndex(address)), address);
+        cache.put(id, movie);
+        return copyOf(movie);
+    }
+
+    @Override
+    public synchronized void put(int id, Movie movie) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Movie id cannot be negative: " + id);
+        }
+        ensureIndexCapacity(id);
+        if (index[id] != 0) {
+            deadBytes += recordSize(index[id]);
+        }
+        index[id] = append(MovieBinaryCodec.encodeRecord(movie));
+        // Кэш наполняется только чтениями; запись лишь убирает устаревший объект.
+        cache.remove(id);
+    }
+
+    @Override
+    public synchronized boolean contains(int id) {
+        return addressOf(id) != 0;
+    }
+
+    @Override
+    public synchronized boolean remove(int id) {
+        long address = addressOf(id);
+        if (address == 0) {
+            return false;
+        }
+        deadBytes += recordSize(address);
+        index[id] = 0;
+        cache.remove(id);
+        return true;
+    }
+
+    // Полный обход читает всё из слабов и не обращается к кэшу: в access-ordered
+    // LinkedHashMap даже get() переставляет запись, и обход вытеснил бы горячие фильмы.
+    // Под монитором снимаются только адреса и список слабов; декодирование идёт без
+    // блокировки, что безопасно, так как уже записанные байты слабов не меняются.
+    @Override
+    public List<Movie> values() {
+        long[] addresses;
+        ByteBuffer[] slabsSnapshot;
+        synchronized (this) {
+            int count = 0;
+            for (long address : index) {
+                if (address != 0) {
+                    count++;
+                }
+            }
+            addresses = new long[count];
+            int i = 0;
+            for (long address : index) {
+                if (address != 0) {
+                    addresses[i++] = address;
+                }
+            }
+            slabsSnapshot = slabs.toArray(new ByteBuffer[0]);
+        }
+
+        List<Movie> movies = new ArrayList<>(addresses.length);
+        for (long address : addresses) {
+            movies.add(read(slabsSnapshot[slabIndex(address)], address));
+        }
+        return movies;
+    }
+
+    @Override
+    public synchronized void clear() {
+        // Память direct-буферов освобождается, когда сборщик соберёт сами ByteBuffer.
+        slabs.clear();
+        cache.clear();
+        index = new long[INITIAL_INDEX_SIZE];
+        deadBytes = 0;
+    }
+
+    synchronized long deadBytes() {
+        return deadBytes;
+    }
+
+    synchronized boolean isCached(int id) {
+        return cache.containsKey(id);
+    }
+
+    synchronized int cachedCount() {
+        return cache.size();
+    }
+
+    synchronized int slabCount() {
+        return slabs.size();
+    }
+
+    private long addressOf(int id) {
+        return id >= 0 && id < index.length ? index[id] : 0;
+    }
+
+    private long append(byte[] record) {
+        int size = LENGTH_PREFIX + record.length;
+        ByteBuffer slab = slabs.isEmpty() ? null : slabs.get(slabs.size() - 1);
+        if (slab == null || slab.remaining() < size) {
+            // Запись крупнее слаба получает собственный буфер точно по размеру.
+            slab = ByteBuffer.allocateDirect(Math.max(slabSize, size));
+            slabs.add(slab);
+        }
+        int offset = slab.position();
+        slab.putInt(record.length);
+        slab.put(record);
+        return (((long) (slabs.size() - 1) << 32) | offset) + 1;
+    }
+
+    private static Movie read(ByteBuffer slab, long address) {
+        int offset = offset(address);
+        int length = slab.getInt(offset);
+        return MovieBinaryCodec.decodeRecord(slab.slice(offset + LENGTH_PREFIX, length));
+    }
+
+    private static Movie copyOf(Movie movie) {
+        return new Movie(movie.getTitle(), movie.getId(), movie.getYear(), movie.getDirector());
+    }
+
+    private int recordSize(long address) {
+        return LENGTH_PREFIX + slabs.get(slabIndex(address)).getInt(offset(address));
+    }
+
+    private void ensureIndexCapacity(int id) {
+        if (id >= index.length) {
+            int newLength = (int) Math.min(Integer.MAX_VALUE - 8, Math.max((long) index.length * 2, id + 1L));
+            index = Arrays.copyOf(index, newLength);
+        }
+    }
+
+    private static int slabIndex(long address) {
+        return (int) ((address - 1) >>> 32);
+    }
+
+    private static int offset(long address) {
+        return (int) (address - 1);
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.moviehub.api;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+import ru.practicum.moviehub.model.Movie;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MovieBinaryCodecTest {
+
+    @Test
+    void encodeDecode_roundTripsAllFields() {
+        Movie movie1 = new Movie("Начало", 1, 2010, "Нолан К.");
+        Movie movie2 = new Movie("Интерстеллар", 300, 2014, "Нолан К.");
+        Movie movie3 = new Movie("Матрица", null, 1999, null);
+
+        List<Movie> decoded = MovieBinaryCodec.decode(MovieBinaryCodec.encode(List.of(movie1, movie2, movie3)));
+
+        assertEquals(3, decoded.size());
+        assertEquals("Начало", decoded.get(0).getTitle());
+        assertEquals(1, decoded.get(0).getId());
+        assertEquals(2010, decoded.get(0).getYear());
+        assertEquals("Нолан К.", decoded.get(0).getDirector());
+        assertEquals(300, decoded.get(1).getId());
+        assertEquals("Нолан К.", decoded.get(1).getDirector());
+        assertNull(decoded.get(2).getId());
+        assertNull(decoded.get(2).getDirector());
+    }
+
+    @Test
+    void encode_emptyList_decodesToEmptyList() {
+        assertTrue(MovieBinaryCodec.decode(MovieBinaryCodec.encode(List.of())).isEmpty());
+    }
+
+    @Test
+    void encode_isSmallerThanJson() {
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            movies.add(new Movie("Фильм " + i, i, 1950 + i % 70, "Режиссёр " + i % 20));
+        }
+
+        int binarySize = MovieBinaryCodec.encode(movies).length;
+        int jsonSize = new Gson().toJson(movies).getBytes(StandardCharsets.UTF_8).length;
+
+        assertTrue(binarySize * 2 < jsonSize, "binary=" + binarySize + ", json=" + jsonSize);
+    }
+
+    @Test
+    void decode_truncatedData_throwsBinaryFormatException() {
+        byte[] bytes = MovieBinaryCodec.encode(List.of(new Movie("Начало", 1, 2010, "Нолан К.")));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+
+        assertThrows(MovieBinaryCodec.BinaryFormatException.class, () -> MovieBinaryCodec.decode(truncated));
+    }
+
+    @Test
+    void decode_overflowingVarint_throwsBinaryFormatException() {
+        // Версия, 0 режиссёров, 1 фильм с id, затем varint с лишними битами в пятом байте.
+        byte[] bytes = {1, 0, 1, 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x1F};
+
+        assertThrows(MovieBinaryCodec.BinaryFormatException.class, () -> MovieBinaryCodec.decode(bytes));
+    }
+
+    @Test
+    void encodeDecode_extremeIds_roundTrip() {
+        Movie max = new Movie("Max", Integer.MAX_VALUE, 2000, null);
+        Movie min = new Movie("Min", Integer.MIN_VALUE, 2000, null);
+
+        List<Movie> decoded = MovieBinaryCodec.decode(MovieBinaryCodec.encode(List.of(max, min)));
+
+        assertEquals(Integer.MAX_VALUE, decoded.get(0).getId());
+        assertEquals(Integer.MIN_VALUE, decoded.get(1).getId());
+    }
+
+    @Test
+    void decode_unknownVersion_throwsBinaryFormatException() {
+        assertThrows(MovieBinaryCodec.BinaryFormatException.class,
+                () -> MovieBinaryCodec.decode(new byte[]{42, 0, 0}));
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.moviehub.api;
+
+import com.google.gson.Gson;
+import ru.practicum.moviehub.model.Movie;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сравнивает размер и время кодирования/декодирования каталога в JSON (Gson)
+ * и в {@link MovieBinaryCodec}. Запускается вручную: {@code java MovieCodecBenchmark [количество]}.
+ */
+public class MovieCodecBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        List<Movie> movies = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            movies.add(new Movie("Фильм номер " + i, i, 1900 + i % 125, "Режиссёр " + i % 500));
+        }
+        Gson gson = new Gson();
+
+        byte[] json = gson.toJson(movies).getBytes(StandardCharsets.UTF_8);
+        byte[] binary = MovieBinaryCodec.encode(movies);
+        System.out.printf("Фильмов: %d%n", count);
+        System.out.printf("Размер JSON: %d байт, binary: %d байт (%.1f%%)%n",
+                json.length, binary.length, 100.0 * binary.length / json.length);
+
+        report("JSON encode", () -> gson.toJson(movies).getBytes(StandardCharsets.UTF_8));
+        report("binary encode", () -> MovieBinaryCodec.encode(movies));
+        report("JSON decode", () -> gson.fromJson(new String(json, StandardCharsets.UTF_8),
+                ListOfMoviesTypeToken.get()));
+        report("binary decode", () -> MovieBinaryCodec.decode(binary));
+    }
+
+    private static void report(String name, Runnable action) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            action.run();
+        }
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            action.run();
+        }
+        long avgMicros = (System.nanoTime() - startedAt) / MEASURED_ROUNDS / 1_000;
+        System.out.printf("%-14s %8d мкс%n", name, avgMicros);
+    }
+}
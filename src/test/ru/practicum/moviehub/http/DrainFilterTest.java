@@ -0,0 +1,119 @@
+package ru.practicum.moviehub.http;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DrainFilterTest {
+    private HttpServer server;
+    private ExecutorService executor;
+    private DrainFilter filter;
+    private CountDownLatch entered;
+    private CountDownLatch release;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        filter = new DrainFilter();
+        entered = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+        executor = Executors.newFixedThreadPool(4);
+
+        server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.setExecutor(executor);
+        server.createContext("/slow", ex -> {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "done".getBytes(StandardCharsets.UTF_8);
+            ex.sendResponseHeaders(200, body.length);
+            try (OutputStream os = ex.getResponseBody()) {
+                os.write(body);
+            }
+        }).getFilters().add(filter);
+        server.start();
+
+        client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void drain_waitsForInFlightRequestAndRejectsNewOnes() throws Exception {
+        CompletableFuture<HttpResponse<String>> inFlight = sendAsync();
+        assertTrue(entered.await(2, TimeUnit.SECONDS));
+
+        CompletableFuture<Boolean> drained = CompletableFuture.supplyAsync(
+                () -> filter.drain(Duration.ofSeconds(5)));
+        waitUntilDraining();
+        assertFalse(drained.isDone());
+
+        HttpResponse<String> rejected = sendAsync().get(2, TimeUnit.SECONDS);
+        assertEquals(503, rejected.statusCode());
+        assertEquals("close", rejected.headers().firstValue("Connection").orElse(""));
+        assertTrue(rejected.body().contains("Server is shutting down"));
+
+        release.countDown();
+        assertTrue(drained.get(2, TimeUnit.SECONDS));
+        assertEquals(200, inFlight.get(2, TimeUnit.SECONDS).statusCode());
+    }
+
+    @Test
+    void drain_whenDeadlinePasses_returnsFalse() throws Exception {
+        CompletableFuture<HttpResponse<String>> inFlight = sendAsync();
+        assertTrue(entered.await(2, TimeUnit.SECONDS));
+
+        assertFalse(filter.drain(Duration.ofMillis(200)));
+
+        release.countDown();
+        assertEquals(200, inFlight.get(2, TimeUnit.SECONDS).statusCode());
+    }
+
+    @Test
+    void drain_withoutInFlightRequests_returnsImmediately() {
+        assertTrue(filter.drain(Duration.ofSeconds(5)));
+        assertTrue(filter.isDraining());
+    }
+
+    private CompletableFuture<HttpResponse<String>> sendAsync() {
+        HttpRequest req = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:" + server.getAddress().getPort() + "/slow"))
+                .GET()
+                .build();
+        return client.sendAsync(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private void waitUntilDraining() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!filter.isDraining() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(filter.isDraining());
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.moviehub.http;
 import com.google.gson.Gson;
 import org.junit.jupiter.api.*;
 import ru.practicum.moviehub.api.ErrorResponse;
+import ru.practicum.moviehub.api.MovieBinaryCodec;
 import ru.practicum.moviehub.store.MoviesStore;
 import ru.practicum.moviehub.model.Movie;
 
@@ -12,6 +13,7 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -254,4 +256,148 @@ public class MoviesApiTest {
 
     }
 
+    @Test
+    void getReady_whenRunning_returns200() throws Exception {
+        HttpRequest req = HttpRequest.newBuilder()
+                .uri(URI.create(BASE + "/ready"))
+                .GET()
+                .build();
+
+        HttpResponse<String> resp = client.send(req,
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+
+        assertEquals(200, resp.statusCode());
+        assertTrue(resp.body().contains("ready"));
+    }
+
+    @Test
+    void getMovies_withBinaryAccept_returnsBinary() throws Exception {
+        store.addMovie(new Movie("Начало", 120, 2010, "Нолан К."));
+
+        HttpRequest req = HttpRequest.newBuilder()
+                .uri(URI.create(BASE + "/movies"))
+                .header("Accept", MovieBinaryCodec.MEDIA_TYPE)
+                .GET()
+                .build();
+
+        HttpResponse<byte[]> resp = client.send(req, HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, resp.statusCode());
+        assertEquals(MovieBinaryCodec.MEDIA_TYPE, resp.headers().firstValue("Content-Type").orElse(""));
+        assertEquals("Accept", resp.headers().firstValue("Vary").orElse(""));
+
+        List<Movie> movies = MovieBinaryCodec.decode(resp.body());
+        assertEquals(1, movies.size());
+        assertEquals("Начало", movies.get(0).getTitle());
+        assertEquals("Нолан К.", movies.get(0).getDirector());
+    }
+
+    @Test
+    void getMovies_withBinaryRefusedByQuality_returnsJson() throws Exception {
+        HttpRequest req = HttpRequest.newBuilder()
+                .uri(URI.create(BASE + "/movies"))
+                .header("Accept", MovieBinaryCodec.MEDIA_TYPE + ";q=0, application/json")
+                .GET()
+                .build();
+
+        HttpResponse<String> resp = client.send(req,
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+
+        assertEquals(200, resp.statusCode());
+        assertEquals("application/json; charset=UTF-8",
+                resp.headers().firstValue("Content-Type").orElse(""));
+        assertEquals("Accept", resp.headers().firstValue("Vary").orElse(""));
+        assertEquals("[]", resp.body().trim());
+    }
+
+    @Test
+    void getMovies_whenJsonPreferred_returnsJson() throws Exception {
+        String[] accepts = {
+                "application/json, " + MovieBinaryCodec.MEDIA_TYPE + ";q=0.1",
+                MovieBinaryCodec.MEDIA_TYPE + ";q=0.001, application/json;q=1",
+                MovieBinaryCodec.MEDIA_TYPE + ", */*",
+        };
+
+        for (String accept : accepts) {
+            HttpRequest req = HttpRequest.newBuilder()
+                    .uri(URI.create(BASE + "/movies"))
+                    .header("Accept", accept)
+                    .GET()
+                    .build();
+
+            HttpResponse<String> resp = client.send(req,
+                    HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+
+            assertEquals(200, resp.statusCode());
+            assertEquals("application/json; charset=UTF-8",
+                    resp.headers().firstValue("Content-Type").orElse(""), accept);
+        }
+    }
+
+    @Test
+    void getMovies_whenBinaryPreferredOverWildcard_returnsBinary() throws Exception {
+        HttpRequest req = HttpRequest.newBuilder()
+                .uri(URI.create(BASE + "/movies"))
+                .header("Accept", MovieBinaryCodec.MEDIA_TYPE + ", */*;q=0.5")
+                .GET()
+                .build();
+
+        HttpResponse<byte[]> resp = client.send(req, HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, resp.statusCode());
+        assertEquals(MovieBinaryCodec.MEDIA_TYPE, resp.headers().firstValue("Content-Type").orElse(""));
+    }
+
+    @Test
+    void postMovies_withSimilarBinaryContentType_returns400() throws Exception {
+        byte[] body = MovieBinaryCodec.encode(List.of(new Movie("Матрица", null, 1999, "Вачовски")));
+
+        HttpRequest req = HttpRequest.newBuilder()
+                .uri(URI.create(BASE + "/movies"))
+                .header("Content-Type", MovieBinaryCodec.MEDIA_TYPE + "-v2")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+
+        HttpResponse<String> resp = client.send(req,
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+
+        assertEquals(400, resp.statusCode());
+        assertTrue(store.getAllMovies().isEmpty());
+    }
+
+    @Test
+    void postMovies_withBinaryBody_addsMovies() throws Exception {
+        byte[] body = MovieBinaryCodec.encode(List.of(new Movie("Матрица", null, 1999, "Вачовски")));
+
+        HttpRequest req = HttpRequest.newBuilder()
+                .uri(URI.create(BASE + "/movies"))
+                .header("Content-Type", MovieBinaryCodec.MEDIA_TYPE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+
+        HttpResponse<String> resp = client.send(req,
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+
+        assertEquals(201, resp.statusCode());
+        assertTrue(resp.body().contains("Матрица"));
+        assertEquals(1, store.getAllMovies().size());
+    }
+
+    @Test
+    void postMovies_withCorruptBinaryBody_returns400() throws Exception {
+        HttpRequest req = HttpRequest.newBuilder()
+                .uri(URI.create(BASE + "/movies"))
+                .header("Content-Type", MovieBinaryCodec.MEDIA_TYPE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(new byte[]{1, 5}))
+                .build();
+
+        HttpResponse<String> resp = client.send(req,
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+
+        assertEquals(400, resp.statusCode());
+
+        ErrorResponse error = gson.fromJson(resp.body(), ErrorResponse.class);
+        assertTrue(error.getMessage().contains("Invalid binary format"));
+    }
+
 }
@@ -0,0 +1,156 @@
+package ru.practicum.moviehub.http;
+
+import org.junit.jupiter.api.*;
+import ru.practicum.moviehub.store.MoviesStore;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoviesServerDrainTest {
+    private MoviesStore store;
+    private MoviesServer server;
+    private HttpClient client;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        store = new MoviesStore();
+        server = new MoviesServer(store, 0);
+        server.start();
+        release = new CountDownLatch(1);
+
+        client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (server.isReady()) {
+            server.stop();
+        }
+    }
+
+    @Test
+    void drain_duringReadinessGrace_reportsUnreadyButKeepsServing() throws Exception {
+        CompletableFuture<Duration> drained = CompletableFuture.supplyAsync(
+                () -> server.drain(Duration.ofSeconds(1), Duration.ofSeconds(2)));
+        waitUntil(() -> !server.isReady());
+
+        HttpResponse<String> ready = get("/ready");
+        assertEquals(503, ready.statusCode());
+        assertTrue(ready.body().contains("draining"));
+
+        assertEquals(200, get("/movies").statusCode());
+
+        Duration drainTime = drained.get(5, TimeUnit.SECONDS);
+        assertTrue(drainTime.toMillis() >= 1000);
+    }
+
+    @Test
+    void drain_waitsForInFlightPostAndRejectsNewRequests() throws Exception {
+        CompletableFuture<String> post = sendSlowPost();
+        waitUntil(() -> server.inFlightRequests() == 1);
+
+        CompletableFuture<Duration> drained = CompletableFuture.supplyAsync(
+                () -> server.drain(Duration.ZERO, Duration.ofSeconds(5)));
+
+        HttpResponse<String> rejected = get("/movies");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (rejected.statusCode() != 503 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            rejected = get("/movies");
+        }
+        assertEquals(503, rejected.statusCode());
+        assertEquals("close", rejected.headers().firstValue("Connection").orElse(""));
+        assertFalse(drained.isDone());
+
+        release.countDown();
+        assertEquals("HTTP/1.1 201 Created", post.get(2, TimeUnit.SECONDS));
+        drained.get(2, TimeUnit.SECONDS);
+        assertEquals(1, store.getAllMovies().size());
+    }
+
+    @Test
+    void drain_interruptedDuringGrace_stillWaitsForInFlightPost() throws Exception {
+        CompletableFuture<String> post = sendSlowPost();
+        waitUntil(() -> server.inFlightRequests() == 1);
+
+        AtomicBoolean interruptRestored = new AtomicBoolean();
+        Thread drainer = new Thread(() -> {
+            server.drain(Duration.ofSeconds(5), Duration.ofSeconds(5));
+            interruptRestored.set(Thread.currentThread().isInterrupted());
+        });
+        drainer.start();
+        waitUntil(() -> !server.isReady());
+        drainer.interrupt();
+
+        Thread.sleep(200);
+        assertTrue(drainer.isAlive());
+
+        release.countDown();
+        assertEquals("HTTP/1.1 201 Created", post.get(2, TimeUnit.SECONDS));
+        drainer.join(2_000);
+        assertFalse(drainer.isAlive());
+        assertTrue(interruptRestored.get());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        HttpRequest req = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:" + server.port() + path))
+                .GET()
+                .build();
+        return client.send(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    // Отправляет заголовки и половину тела по сырому сокету, чтобы запрос оставался в работе
+    // на сервере; вторая половина уходит после release.
+    private CompletableFuture<String> sendSlowPost() throws IOException {
+        byte[] body = "[{\"title\":\"Начало\",\"year\":2010,\"director\":\"Нолан К.\"}]"
+                .getBytes(StandardCharsets.UTF_8);
+        int half = body.length / 2;
+        Socket socket = new Socket("localhost", server.port());
+        OutputStream out = socket.getOutputStream();
+        out.write(("POST /movies HTTP/1.1\r\n"
+                + "Host: localhost\r\n"
+                + "Content-Type: application/json\r\n"
+                + "Content-Length: " + body.length + "\r\n"
+                + "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.write(body, 0, half);
+        out.flush();
+
+        return CompletableFuture.supplyAsync(() -> {
+            try (socket) {
+                release.await();
+                out.write(body, half, body.length - half);
+                out.flush();
+                String response = new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+                return response.substring(0, response.indexOf("\r\n"));
+            } catch (IOException | InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    private void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
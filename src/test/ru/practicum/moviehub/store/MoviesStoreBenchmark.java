@@ -0,0 +1,99 @@
+package ru.practicum.moviehub.store;
+
+import ru.practicum.moviehub.model.Movie;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Заполняет хранилище и печатает занятую кучу и суммарное время сборок мусора.
+ * Запускается вручную отдельно для каждого режима, чтобы замеры не смешивались:
+ * {@code java -Xmx8g MoviesStoreBenchmark heap|offheap [количество]}.
+ */
+public class MoviesStoreBenchmark {
+    private static final int READS = 1_000_000;
+
+    public static void main(String[] args) {
+        String mode = args.length > 0 ? args[0] : "heap";
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 10_000_000;
+        MoviesStore store = "offheap".equals(mode) ? MoviesStore.offHeap() : new MoviesStore();
+
+        long fillStartedAt = System.nanoTime();
+        for (int i = 1; i <= count; i++) {
+            store.addMovie(new Movie("Фильм номер " + i, null, 1900 + i % 125, "Режиссёр " + i % 500));
+        }
+        long fillMillis = (System.nanoTime() - fillStartedAt) / 1_000_000;
+
+        long gcCountBefore = gcCount();
+        long gcMillisBefore = gcMillis();
+        long readStartedAt = System.nanoTime();
+        long checksum = 0;
+        for (int i = 0; i < READS; i++) {
+            // Чтения сосредоточены на небольшом «горячем» наборе, как в реальном каталоге.
+            int id = i % 10 == 0 ? 1 + (int) ((i * 2654435761L) % count) : 1 + i % 5_000;
+            checksum += store.getMovie(id).map(Movie::getYear).orElse(0);
+        }
+        long readMillis = (System.nanoTime() - readStartedAt) / 1_000_000;
+        long readGcCount = gcCount() - gcCountBefore;
+        long readGcMillis = gcMillis() - gcMillisBefore;
+
+        System.gc();
+        long fullGcStartedAt = System.nanoTime();
+        System.gc();
+        long fullGcMillis = (System.nanoTime() - fullGcStartedAt) / 1_000_000;
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long heapMb = memory.getHeapMemoryUsage().getUsed() / (1024 * 1024);
+
+        System.out.printf("Режим: %s, записей: %d%n", mode, count);
+        System.out.printf("Заполнение: %d мс, %d чтений: %d мс (checksum %d)%n",
+                fillMillis, READS, readMillis, checksum);
+        System.out.printf("Занято кучи после полной сборки: %d МБ%n", heapMb);
+        System.out.printf("Сборок за фазу чтения: %d, %d мс; полная сборка: %d мс%n",
+                readGcCount, readGcMillis, fullGcMillis);
+
+        scanWithConcurrentReads(store, count);
+    }
+
+    // Полный обход, как при GET /movies, пока другой поток делает точечные чтения:
+    // максимальная задержка чтения показывает, блокирует ли обход остальные запросы.
+    private static void scanWithConcurrentReads(MoviesStore store, int count) {
+        AtomicBoolean scanning = new AtomicBoolean(true);
+        AtomicLong maxReadNanos = new AtomicLong();
+        Thread reader = new Thread(() -> {
+            int i = 0;
+            while (scanning.get()) {
+                long startedAt = System.nanoTime();
+                store.getMovie(1 + i++ % Math.min(count, 5_000));
+                maxReadNanos.accumulateAndGet(System.nanoTime() - startedAt, Math::max);
+            }
+        });
+        reader.start();
+
+        long scanStartedAt = System.nanoTime();
+        int scanned = store.getAllMovies().size();
+        long scanMillis = (System.nanoTime() - scanStartedAt) / 1_000_000;
+        scanning.set(false);
+        try {
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        System.out.printf("Полный обход %d записей: %d мс; макс. задержка чтения во время обхода: %d мс%n",
+                scanned, scanMillis, maxReadNanos.get() / 1_000_000);
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+}
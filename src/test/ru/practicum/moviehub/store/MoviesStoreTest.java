@@ -0,0 +1,65 @@
+package ru.practicum.moviehub.store;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.moviehub.model.Movie;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoviesStoreTest {
+    private MoviesStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = MoviesStore.offHeap(128, 2);
+    }
+
+    @Test
+    void offHeap_addMovie_assignsIdsAndReturnsAllMovies() {
+        store.addMovie(new Movie("Начало", null, 2010, "Нолан К."));
+        store.addMovie(new Movie("Матрица", null, 1999, "Вачовски"));
+        store.addMovie(new Movie("Интерстеллар", null, 2014, "Нолан К."));
+
+        List<Movie> movies = store.getAllMovies();
+        assertEquals(List.of(1, 2, 3), movies.stream().map(Movie::getId).toList());
+        assertEquals("Матрица", store.getMovie(2).orElseThrow().getTitle());
+        assertEquals("Вачовски", store.getMovie(2).orElseThrow().getDirector());
+        assertTrue(store.getMovie(4).isEmpty());
+    }
+
+    @Test
+    void offHeap_updateMovie_replacesExistingOnly() {
+        store.addMovie(new Movie("Начало", null, 2010, "Нолан К."));
+        store.getMovie(1);
+
+        assertTrue(store.updateMovie(1, new Movie("Начало (2010)", null, 2010, "Нолан К.")).isPresent());
+        assertTrue(store.updateMovie(99, new Movie("Нет такого", null, 2000, null)).isEmpty());
+
+        Movie updated = store.getMovie(1).orElseThrow();
+        assertEquals("Начало (2010)", updated.getTitle());
+        assertEquals(1, updated.getId());
+        assertEquals(1, store.getAllMovies().size());
+    }
+
+    @Test
+    void offHeap_deleteMovie_removesItOnce() {
+        store.addMovie(new Movie("Начало", null, 2010, "Нолан К."));
+        store.addMovie(new Movie("Матрица", null, 1999, "Вачовски"));
+
+        assertTrue(store.deleteMovie(1));
+        assertFalse(store.deleteMovie(1));
+        assertTrue(store.getMovie(1).isEmpty());
+        assertEquals(List.of(2), store.getAllMovies().stream().map(Movie::getId).toList());
+    }
+
+    @Test
+    void offHeap_clear_restartsIds() {
+        store.addMovie(new Movie("Начало", null, 2010, "Нолан К."));
+        store.clear();
+
+        assertTrue(store.getAllMovies().isEmpty());
+        assertEquals(1, store.addMovie(new Movie("Матрица", null, 1999, "Вачовски")).getId());
+    }
+}
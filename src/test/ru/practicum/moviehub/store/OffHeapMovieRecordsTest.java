@@ -0,0 +1,142 @@
+package ru.practicum.moviehub.store;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.moviehub.model.Movie;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapMovieRecordsTest {
+    private OffHeapMovieRecords records;
+
+    @BeforeEach
+    void setUp() {
+        records = new OffHeapMovieRecords(128, 2);
+    }
+
+    @Test
+    void get_afterEviction_readsRecordFromSlab() {
+        records.put(1, new Movie("Начало", 1, 2010, "Нолан К."));
+        records.put(2, new Movie("Матрица", 2, 1999, "Вачовски"));
+        records.put(3, new Movie("Интерстеллар", 3, 2014, "Нолан К."));
+        assertEquals(0, records.cachedCount());
+
+        records.get(1);
+        records.get(2);
+        records.get(3);
+        assertEquals(2, records.cachedCount());
+        assertFalse(records.isCached(1));
+
+        Movie movie = records.get(1);
+        assertEquals("Начало", movie.getTitle());
+        assertEquals(1, movie.getId());
+        assertEquals(2010, movie.getYear());
+        assertEquals("Нолан К.", movie.getDirector());
+    }
+
+    @Test
+    void put_replacesCachedMovie() {
+        records.put(1, new Movie("Начало", 1, 2010, "Нолан К."));
+        records.get(1);
+        assertTrue(records.isCached(1));
+
+        records.put(1, new Movie("Начало (2010)", 1, 2010, "Нолан К."));
+
+        assertFalse(records.isCached(1));
+        assertEquals("Начало (2010)", records.get(1).getTitle());
+    }
+
+    @Test
+    void get_returnsCopiesThatDoNotChangeStoredMovie() {
+        records.put(1, new Movie("Начало", 1, 2010, "Нолан К."));
+
+        Movie first = records.get(1);
+        first.setTitle("Изменено");
+        Movie cachedRead = records.get(1);
+        cachedRead.setDirector("Кто-то");
+
+        assertTrue(records.isCached(1));
+        assertNotSame(first, cachedRead);
+        assertEquals("Начало", records.get(1).getTitle());
+        assertEquals("Нолан К.", records.get(1).getDirector());
+        assertEquals("Начало", records.values().get(0).getTitle());
+    }
+
+    @Test
+    void values_keepsHotEntriesCached() {
+        OffHeapMovieRecords records = new OffHeapMovieRecords(128, 3);
+        for (int id = 1; id <= 4; id++) {
+            records.put(id, new Movie("Фильм " + id, id, 2000, null));
+        }
+        records.get(1);
+        records.get(2);
+        records.get(3);
+        records.get(1);
+
+        records.values();
+        records.get(4);
+
+        assertTrue(records.isCached(1));
+        assertFalse(records.isCached(2));
+        assertTrue(records.isCached(3));
+        assertTrue(records.isCached(4));
+    }
+
+    @Test
+    void put_manyRecords_spansSeveralSlabs() {
+        for (int id = 1; id <= 50; id++) {
+            records.put(id, new Movie("Фильм " + id, id, 2000, "Режиссёр"));
+        }
+
+        assertTrue(records.slabCount() > 1);
+        assertEquals("Фильм 37", records.get(37).getTitle());
+        assertEquals(50, records.values().size());
+    }
+
+    @Test
+    void put_recordLargerThanSlab_isStored() {
+        String title = "Очень длинное название ".repeat(20);
+        records.put(1, new Movie(title, 1, 2000, null));
+        records.put(2, new Movie("A", 2, 2000, null));
+        records.put(3, new Movie("B", 3, 2000, null));
+
+        assertEquals(title, records.get(1).getTitle());
+        assertNull(records.get(1).getDirector());
+    }
+
+    @Test
+    void putAndRemove_trackDeadBytes() {
+        records.put(1, new Movie("Начало", 1, 2010, "Нолан К."));
+        records.put(1, new Movie("Начало (2010)", 1, 2010, "Нолан К."));
+
+        assertEquals("Начало (2010)", records.get(1).getTitle());
+        assertTrue(records.deadBytes() > 0);
+
+        assertTrue(records.remove(1));
+        assertFalse(records.contains(1));
+        assertNull(records.get(1));
+        assertFalse(records.remove(1));
+    }
+
+    @Test
+    void values_returnsMoviesInIdOrder() {
+        records.put(3, new Movie("C", 3, 2000, null));
+        records.put(1, new Movie("A", 1, 2000, null));
+        records.put(2000, new Movie("B", 2000, 2000, null));
+
+        List<Movie> movies = records.values();
+        assertEquals(List.of(1, 3, 2000), movies.stream().map(Movie::getId).toList());
+    }
+
+    @Test
+    void clear_removesEverything() {
+        records.put(1, new Movie("A", 1, 2000, null));
+        records.clear();
+
+        assertNull(records.get(1));
+        assertTrue(records.values().isEmpty());
+        assertEquals(0, records.slabCount());
+    }
+}